@@ -0,0 +1,210 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Evaluates a tokenized expression in a single pass without building an expression tree.
+ * Numbers are kept on a value stack and pending operators on an operator stack, so every
+ * token is visited once and intermediate results never leave their double form.
+ * Precedence, associativity, unary minus and error reporting match Parser followed by
+ * ExpressionNode.evaluate().
+ */
+public class TokenEvaluator {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final List<ScannedToken> tokens;
+    private double[] values;
+    private int valueCount;
+    private TokenType[] operators;
+    private int operatorCount;
+    private ExpressionException evaluationError;
+
+    /**
+     * Creates a new TokenEvaluator instance with the given tokenized expression.
+     * @param tokens List of ScannedToken objects representing the tokenized mathematical expression
+     */
+    public TokenEvaluator(List<ScannedToken> tokens) {
+        this.tokens = tokens;
+    }
+
+    /**
+     * Evaluates the tokenized expression.
+     * Syntax errors are reported as soon as they are found. Errors from the arithmetic itself
+     * (division by zero, invalid powers) are only thrown once the whole expression has been
+     * read, so the same error wins as when parsing into a tree first and evaluating it after.
+     * @return The numerical result of the expression
+     * @throws ExpressionException if the expression is invalid
+     */
+    public double evaluate() throws ExpressionException {
+        if (tokens.isEmpty()) {
+            throw new ExpressionException(ExpressionException.ErrorType.EMPTY_EXPRESSION, 0);
+        }
+
+        values = new double[INITIAL_CAPACITY];
+        valueCount = 0;
+        operators = new TokenType[INITIAL_CAPACITY];
+        operatorCount = 0;
+        evaluationError = null;
+
+        Iterator<ScannedToken> iterator = tokens.iterator();
+        int position = 0;
+        boolean expectOperand = true;
+        boolean negate = false;
+
+        while (true) {
+            ScannedToken token = iterator.hasNext() ? iterator.next() : null;
+            TokenType type = token == null ? null : token.type();
+
+            if (expectOperand) {
+                if (type == TokenType.SUB) {
+                    // Unary minus only applies to the next number or parenthesized group
+                    negate = !negate;
+                } else if (type == TokenType.LPAR) {
+                    // Remember the group's sign below its values until the closing parenthesis
+                    pushValue(negate ? -1.0 : 1.0);
+                    pushOperator(TokenType.LPAR);
+                    negate = false;
+                } else if (type == TokenType.VALUE) {
+                    double value = parseValue(token, position);
+                    pushValue(negate ? -value : value);
+                    negate = false;
+                    expectOperand = false;
+                } else {
+                    throw new ExpressionException(ExpressionException.ErrorType.INVALID_EXPRESSION, position);
+                }
+            } else if (isBinaryOperator(type)) {
+                int precedence = getOperatorPrecedence(type);
+                reduce(precedence);
+                pushOperator(type);
+                expectOperand = true;
+            } else {
+                // Any other token ends the current group, just like in Parser
+                reduce(0);
+                if (operatorCount == 0) {
+                    // Parser stops at the first token it cannot use at the top level
+                    break;
+                }
+                if (type != TokenType.RPAR) {
+                    throw new ExpressionException(ExpressionException.ErrorType.UNMATCHED_PARENTHESES, position);
+                }
+                operatorCount--;
+                double result = values[--valueCount];
+                double sign = values[valueCount - 1];
+                values[valueCount - 1] = sign < 0 ? -result : result;
+            }
+            position++;
+        }
+
+        if (evaluationError != null) {
+            throw evaluationError;
+        }
+        return values[0];
+    }
+
+    /**
+     * Applies pending binary operators until an opening parenthesis or an operator
+     * with a precedence lower than the given one is on top of the operator stack.
+     * All operators are left-associative.
+     */
+    private void reduce(int minPrecedence) {
+        while (operatorCount > 0) {
+            TokenType operator = operators[operatorCount - 1];
+            if (operator == TokenType.LPAR || getOperatorPrecedence(operator) < minPrecedence) {
+                return;
+            }
+            operatorCount--;
+            double right = values[--valueCount];
+            double left = values[valueCount - 1];
+            values[valueCount - 1] = apply(operator, left, right);
+        }
+    }
+
+    /**
+     * Applies a binary operator to its operands.
+     * The first arithmetic error is recorded instead of thrown, and NaN stands in for the result.
+     */
+    private double apply(TokenType operator, double left, double right) {
+        switch (operator) {
+            case ADD: return left + right;
+            case SUB: return left - right;
+            case MUL: return left * right;
+            case DIV:
+                if (right == 0) {
+                    return fail(ExpressionException.ErrorType.DIVISION_BY_ZERO);
+                }
+                return left / right;
+            case POW:
+                if (left == 0 && right < 0) {
+                    return fail(ExpressionException.ErrorType.INVALID_POWER);
+                }
+                return Math.pow(left, right);
+            default:
+                return fail(ExpressionException.ErrorType.INVALID_OPERATOR);
+        }
+    }
+
+    /**
+     * Records the first arithmetic error so it can be thrown after parsing, and returns NaN in its place.
+     */
+    private double fail(ExpressionException.ErrorType errorType) {
+        if (evaluationError == null) {
+            evaluationError = new ExpressionException(errorType, 0);
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Parses a number token, reporting invalid numbers at the token's position.
+     */
+    private double parseValue(ScannedToken token, int position) throws ExpressionException {
+        try {
+            return Double.parseDouble(token.expression());
+        } catch (NumberFormatException e) {
+            throw new ExpressionException(ExpressionException.ErrorType.INVALID_NUMBER, position, token.expression());
+        }
+    }
+
+    /**
+     * Pushes a value onto the value stack, growing it when full.
+     */
+    private void pushValue(double value) {
+        if (valueCount == values.length) {
+            values = Arrays.copyOf(values, valueCount * 2);
+        }
+        values[valueCount++] = value;
+    }
+
+    /**
+     * Pushes an operator or opening parenthesis onto the operator stack, growing it when full.
+     */
+    private void pushOperator(TokenType operator) {
+        if (operatorCount == operators.length) {
+            operators = Arrays.copyOf(operators, operatorCount * 2);
+        }
+        operators[operatorCount++] = operator;
+    }
+
+    /**
+     * Checks whether a token type is a binary operator; null (end of input) is not.
+     */
+    private boolean isBinaryOperator(TokenType type) {
+        return type == TokenType.ADD || type == TokenType.SUB ||
+               type == TokenType.MUL || type == TokenType.DIV ||
+               type == TokenType.POW;
+    }
+
+    /**
+     * Gets the precedence of an operator.
+     * Higher values indicate higher precedence.
+     */
+    private int getOperatorPrecedence(TokenType operator) {
+        switch (operator) {
+            case POW: return 3;
+            case MUL:
+            case DIV: return 2;
+            case ADD:
+            case SUB: return 1;
+            default: return 0;
+        }
+    }
+}
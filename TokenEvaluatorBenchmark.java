@@ -0,0 +1,194 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmark for Scanner.evaluate.
+ * Times the single-pass TokenEvaluator on operator chains of increasing length,
+ * and the previous list-rewriting algorithm on the sizes where it still finishes
+ * in reasonable time.
+ * Run with: javac *.java && java TokenEvaluatorBenchmark
+ */
+public class TokenEvaluatorBenchmark {
+    private static final int[] TOKEN_COUNTS = {10, 100, 1000, 10000, 100000};
+    private static final int MAX_LEGACY_TOKEN_COUNT = 10000;
+    private static final int TOKENS_PER_ROUND = 2000000;
+    private static final int LEGACY_TOKENS_PER_ROUND = 1000;
+    private static final int ROUNDS = 5;
+    // The previous algorithm recursed once per operator
+    private static final long STACK_SIZE = 512L * 1024 * 1024;
+
+    private static double sink;
+
+    /**
+     * Runs the benchmark and prints the best time per evaluation for each size.
+     * @param args Command line arguments (not used)
+     * @throws InterruptedException If interrupted while waiting for the benchmark to finish
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Thread benchmark = new Thread(null, TokenEvaluatorBenchmark::run, "benchmark", STACK_SIZE);
+        benchmark.start();
+        benchmark.join();
+    }
+
+    /**
+     * Times both algorithms for every size in TOKEN_COUNTS.
+     */
+    private static void run() {
+        Scanner scanner = new Scanner("");
+        for (int tokenCount : TOKEN_COUNTS) {
+            List<ScannedToken> tokens = new Scanner(chain(tokenCount)).scan();
+            long current = time(() -> scanner.evaluate(tokens), repetitions(TOKENS_PER_ROUND, tokenCount));
+            String legacy = tokenCount <= MAX_LEGACY_TOKEN_COUNT
+                    ? time(() -> legacyEvaluate(tokens), repetitions(LEGACY_TOKENS_PER_ROUND, tokenCount)) + " ns"
+                    : "skipped";
+            System.out.printf("%7d tokens: single pass %10d ns, previous %s%n", tokens.size(), current, legacy);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Builds an expression of roughly the given number of tokens mixing +, -, * and /.
+     */
+    private static String chain(int tokenCount) {
+        StringBuilder expression = new StringBuilder("1");
+        String operators = "+-*/";
+        for (int i = 1; i < tokenCount / 2; i++) {
+            expression.append(operators.charAt(i % operators.length())).append(1 + i % 7);
+        }
+        return expression.toString();
+    }
+
+    /**
+     * Gets how often to repeat an evaluation so that one round covers about the given number of tokens.
+     */
+    private static int repetitions(int tokensPerRound, int tokenCount) {
+        return Math.max(1, tokensPerRound / tokenCount);
+    }
+
+    /**
+     * Returns the best average time in nanoseconds of one evaluation over several rounds,
+     * after one warm-up round.
+     */
+    private static long time(Evaluation evaluation, int repetitions) {
+        for (int i = 0; i < repetitions; i++) {
+            sink += evaluation.run();
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < repetitions; i++) {
+                sink += evaluation.run();
+            }
+            best = Math.min(best, (System.nanoTime() - start) / repetitions);
+        }
+        return best;
+    }
+
+    private interface Evaluation {
+        double run();
+    }
+
+    /**
+     * The Scanner.evaluate algorithm before TokenEvaluator, kept for comparison.
+     * It resolves the innermost parentheses, rebuilds the token list and recurses.
+     */
+    private static double legacyEvaluate(List<ScannedToken> tokenizedExpr) {
+        if (tokenizedExpr.size() == 1) {
+            return Double.parseDouble(tokenizedExpr.get(0).expression());
+        }
+        List<ScannedToken> simpleExpr = new ArrayList<>();
+        int idx = tokenizedExpr.stream()
+                .map(ScannedToken::type)
+                .collect(Collectors.toList())
+                .lastIndexOf(TokenType.LPAR);
+
+        if (idx >= 0) {
+            int matchingPar = -1;
+            for (int i = idx + 1; i < tokenizedExpr.size(); i++) {
+                if (tokenizedExpr.get(i).type() == TokenType.RPAR) {
+                    matchingPar = i;
+                    break;
+                }
+            }
+
+            if (matchingPar != -1) {
+                for (int i = idx + 1; i < matchingPar; i++) {
+                    simpleExpr.add(tokenizedExpr.get(i));
+                }
+                double value = legacyEvaluateSimpleExpression(simpleExpr);
+
+                List<ScannedToken> newExpr = new ArrayList<>();
+                for (int i = 0; i < idx; i++) {
+                    newExpr.add(tokenizedExpr.get(i));
+                }
+                newExpr.add(new ScannedToken(Double.toString(value), TokenType.VALUE));
+                for (int i = matchingPar + 1; i < tokenizedExpr.size(); i++) {
+                    newExpr.add(tokenizedExpr.get(i));
+                }
+                return legacyEvaluate(newExpr);
+            }
+        }
+        return legacyEvaluateSimpleExpression(tokenizedExpr);
+    }
+
+    /**
+     * The Scanner.evaluateSimpleExpression algorithm before TokenEvaluator, kept for comparison.
+     * It applies the leftmost operator of the highest precedence and recurses on the rewritten list.
+     */
+    private static double legacyEvaluateSimpleExpression(List<ScannedToken> expression) {
+        if (expression.size() == 1) {
+            return Double.parseDouble(expression.get(0).expression());
+        }
+        List<ScannedToken> newExpression = new ArrayList<>();
+
+        int mulIdx = expression.stream()
+                .map(ScannedToken::type)
+                .collect(Collectors.toList())
+                .indexOf(TokenType.MUL);
+        int divIdx = expression.stream()
+                .map(ScannedToken::type)
+                .collect(Collectors.toList())
+                .indexOf(TokenType.DIV);
+        int computationIdx = (mulIdx >= 0 && divIdx >= 0) ? Math.min(mulIdx, divIdx) : Math.max(mulIdx, divIdx);
+
+        if (computationIdx != -1) {
+            double left = Double.parseDouble(expression.get(computationIdx - 1).expression());
+            double right = Double.parseDouble(expression.get(computationIdx + 1).expression());
+            double ans = computationIdx == mulIdx ? left * right : left / right;
+            for (int i = 0; i < computationIdx - 1; i++) {
+                newExpression.add(expression.get(i));
+            }
+            newExpression.add(new ScannedToken(ans + "", TokenType.VALUE));
+            for (int i = computationIdx + 2; i < expression.size(); i++) {
+                newExpression.add(expression.get(i));
+            }
+            return legacyEvaluateSimpleExpression(newExpression);
+        }
+
+        int addIdx = expression.stream()
+                .map(ScannedToken::type)
+                .collect(Collectors.toList())
+                .indexOf(TokenType.ADD);
+        int subIdx = expression.stream()
+                .map(ScannedToken::type)
+                .collect(Collectors.toList())
+                .indexOf(TokenType.SUB);
+        int computationIdx2 = (addIdx >= 0 && subIdx >= 0) ? Math.min(addIdx, subIdx) : Math.max(addIdx, subIdx);
+
+        if (computationIdx2 != -1) {
+            double left = Double.parseDouble(expression.get(computationIdx2 - 1).expression());
+            double right = Double.parseDouble(expression.get(computationIdx2 + 1).expression());
+            double ans = computationIdx2 == addIdx ? left + right : left - right;
+            for (int i = 0; i < computationIdx2 - 1; i++) {
+                newExpression.add(expression.get(i));
+            }
+            newExpression.add(new ScannedToken(ans + "", TokenType.VALUE));
+            for (int i = computationIdx2 + 2; i < expression.size(); i++) {
+                newExpression.add(expression.get(i));
+            }
+            return legacyEvaluateSimpleExpression(newExpression);
+        }
+        return -1.0;
+    }
+}
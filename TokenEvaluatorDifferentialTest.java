@@ -0,0 +1,150 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Differential test for TokenEvaluator.
+ * Evaluates a corpus of expressions through Scanner.evaluate and through
+ * Parser followed by ExpressionNode.evaluate(), and checks that both give
+ * the same result bits or the same exception message.
+ * Run with: javac *.java && java TokenEvaluatorDifferentialTest
+ * The program exits with a non-zero status if any expression disagrees.
+ */
+public class TokenEvaluatorDifferentialTest {
+    private static final long SEED = 20261018L;
+    private static final int RANDOM_CHARACTER_CASES = 500000;
+    private static final int RANDOM_TREE_CASES = 200000;
+    private static final int MAX_REPORTED_MISMATCHES = 20;
+
+    private static final String[] EDGE_CASES = {
+        "",
+        "1",
+        "-5+3",
+        "(1+2)*3",
+        "2^3^2",
+        "-2^2",
+        "--3",
+        "-0",
+        "--0",
+        "1-(-0)",
+        "-(1)^2",
+        "-(1+2)*-3",
+        "--(2+3)",
+        "1+2)",
+        "1+2)3",
+        "(1)(2)",
+        "(1)2",
+        "(1 2)",
+        "(",
+        "1+(",
+        "(1+2",
+        "((1+2)*3",
+        "1.2.3",
+        ".",
+        "1/0",
+        "1/0+(",
+        "1/0+)",
+        "1/0*(2",
+        "0^-1",
+        "0^-1+1/0",
+        "1+",
+        "*1",
+        "()",
+        ")",
+        "2*(3+4)^2/7-1"
+    };
+
+    /**
+     * Runs the edge cases and the random corpus and reports any mismatch.
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        List<String> corpus = new ArrayList<>();
+        for (String edgeCase : EDGE_CASES) {
+            corpus.add(edgeCase);
+        }
+
+        Random random = new Random(SEED);
+        String alphabet = "0123456789.+-*/^()  ";
+        for (int i = 0; i < RANDOM_CHARACTER_CASES; i++) {
+            int length = 1 + random.nextInt(25);
+            StringBuilder expression = new StringBuilder();
+            for (int j = 0; j < length; j++) {
+                expression.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            corpus.add(expression.toString());
+        }
+        for (int i = 0; i < RANDOM_TREE_CASES; i++) {
+            corpus.add(randomExpression(random, 4));
+        }
+
+        int mismatches = 0;
+        for (String expression : corpus) {
+            List<ScannedToken> tokens = new Scanner(expression).scan();
+            String expected = evaluateWithParser(tokens);
+            String actual = evaluateWithScanner(tokens);
+            if (!expected.equals(actual)) {
+                if (mismatches < MAX_REPORTED_MISMATCHES) {
+                    System.err.println("Mismatch for \"" + expression + "\": Parser gave " + expected
+                            + ", Scanner gave " + actual);
+                }
+                mismatches++;
+            }
+        }
+
+        System.out.println(corpus.size() + " expressions checked, " + mismatches + " mismatches");
+        if (mismatches > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Evaluates the tokens by building and evaluating an expression tree.
+     */
+    private static String evaluateWithParser(List<ScannedToken> tokens) {
+        try {
+            return describe(new Parser(tokens).parse().evaluate());
+        } catch (ExpressionException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Evaluates the tokens through the public Scanner API.
+     */
+    private static String evaluateWithScanner(List<ScannedToken> tokens) {
+        try {
+            return describe(new Scanner("").evaluate(tokens));
+        } catch (ExpressionException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Describes a result by its bits, so -0.0 and 0.0 are told apart.
+     * NaN is collapsed to one bit pattern because Java leaves the sign and payload
+     * of NaN results unspecified, and they can change once code is JIT compiled.
+     */
+    private static String describe(double value) {
+        return value + " (0x" + Long.toHexString(Double.doubleToLongBits(value)) + ")";
+    }
+
+    /**
+     * Generates a mostly valid expression with nested groups and unary minus.
+     */
+    private static String randomExpression(Random random, int depth) {
+        if (depth == 0 || random.nextInt(3) == 0) {
+            String value = random.nextInt(5) == 0 ? "0" : Integer.toString(random.nextInt(20));
+            if (random.nextInt(4) == 0) {
+                value += "." + random.nextInt(100);
+            }
+            return (random.nextInt(5) == 0 ? "-" : "") + value;
+        }
+        char operator = "+-*/^".charAt(random.nextInt(5));
+        String expression = randomExpression(random, depth - 1) + operator + randomExpression(random, depth - 1);
+        if (random.nextInt(3) == 0) {
+            return (random.nextInt(4) == 0 ? "-" : "") + "(" + expression + ")";
+        }
+        return expression;
+    }
+}